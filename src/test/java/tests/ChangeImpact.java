@@ -0,0 +1,157 @@
+package tests;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Files changed since a git revision (including uncommitted and untracked files), and which step
+ * definition classes they affect. A glue class is affected when it, or any test class it reaches
+ * through imports or its own package, changed. Changes to the build or to shared resources
+ * (configuration, scripts) affect every scenario.
+ */
+public class ChangeImpact {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeImpact.class);
+    private static final String SOURCE_ROOT = "src/test/java/";
+    private static final String RESOURCE_ROOT = "src/test/resources/";
+    private static final Pattern PACKAGE = Pattern.compile("^package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern IMPORT = Pattern.compile("^import\\s+(static\\s+)?([\\w.]+?)(\\.\\*)?\\s*;", Pattern.MULTILINE);
+
+    private final Set<String> changedFiles;
+    private final Set<String> changedClasses;
+    private final boolean globalChange;
+    private final Map<String, Set<String>> dependencies;
+
+    private ChangeImpact(Set<String> changedFiles, boolean globalChange) {
+        this(changedFiles, globalChange, readDependencies());
+    }
+
+    ChangeImpact(Set<String> changedFiles, boolean globalChange, Map<String, Set<String>> dependencies) {
+        this.changedFiles = changedFiles;
+        this.globalChange = globalChange || changedFiles.stream().anyMatch(ChangeImpact::isSharedFile);
+        this.changedClasses = changedFiles.stream()
+                .filter(file -> file.startsWith(SOURCE_ROOT) && file.endsWith(".java"))
+                .map(file -> file.substring(SOURCE_ROOT.length(), file.length() - ".java".length()).replace('/', '.'))
+                .collect(Collectors.toSet());
+        this.dependencies = dependencies;
+    }
+
+    public static ChangeImpact since(String revision) {
+        try {
+            Set<String> changed = new HashSet<>(git("diff", "--name-only", "--relative", revision, "--"));
+            changed.addAll(git("ls-files", "--others", "--exclude-standard"));
+            logger.info("{} files changed since {}", changed.size(), revision);
+            return new ChangeImpact(changed, false);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            logger.warn("Could not list changes since {}, treating every scenario as affected", revision, e);
+            return new ChangeImpact(new HashSet<>(), true);
+        }
+    }
+
+    public boolean isFeatureChanged(String feature) {
+        return globalChange || changedFiles.contains(feature);
+    }
+
+    public boolean affects(Collection<String> glueClasses) {
+        if (globalChange) {
+            return true;
+        }
+        Set<String> reachable = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(glueClasses);
+        while (!pending.isEmpty()) {
+            String className = pending.pop();
+            if (reachable.add(className)) {
+                if (changedClasses.contains(className)) {
+                    return true;
+                }
+                pending.addAll(dependencies.getOrDefault(className, Set.of()));
+            }
+        }
+        return false;
+    }
+
+    // Feature files are tracked per scenario and images are documentation only
+    private static boolean isSharedFile(String file) {
+        if (file.equals("pom.xml")) {
+            return true;
+        }
+        return file.startsWith(RESOURCE_ROOT) && !file.endsWith(".feature") && !file.startsWith(RESOURCE_ROOT + "img/");
+    }
+
+    static Map<String, Set<String>> readDependencies() {
+        Map<String, String> sources = new HashMap<>();
+        Map<String, Set<String>> classesByPackage = new HashMap<>();
+        Path root = Paths.get(SOURCE_ROOT);
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                String relative = root.relativize(file).toString().replace('\\', '/');
+                String className = relative.substring(0, relative.length() - ".java".length()).replace('/', '.');
+                sources.put(className, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+                int dot = className.lastIndexOf('.');
+                classesByPackage.computeIfAbsent(dot > 0 ? className.substring(0, dot) : "", p -> new HashSet<>())
+                        .add(className);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read test sources under {}", root, e);
+        }
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        sources.forEach((className, source) -> {
+            Set<String> referenced = new HashSet<>();
+            Matcher packageMatcher = PACKAGE.matcher(source);
+            if (packageMatcher.find()) {
+                referenced.addAll(classesByPackage.getOrDefault(packageMatcher.group(1), Set.of()));
+            }
+            Matcher importMatcher = IMPORT.matcher(source);
+            while (importMatcher.find()) {
+                String name = importMatcher.group(2);
+                if (importMatcher.group(3) != null && importMatcher.group(1) == null) {
+                    referenced.addAll(classesByPackage.getOrDefault(name, Set.of()));
+                } else if (sources.containsKey(name)) {
+                    referenced.add(name);
+                } else if (importMatcher.group(1) != null && name.lastIndexOf('.') > 0
+                        && sources.containsKey(name.substring(0, name.lastIndexOf('.')))) {
+                    // static import of a member: the owning class is the prefix
+                    referenced.add(name.substring(0, name.lastIndexOf('.')));
+                }
+            }
+            referenced.remove(className);
+            dependencies.put(className, referenced);
+        });
+        return dependencies;
+    }
+
+    private static List<String> git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (InputStream input = process.getInputStream()) {
+            output = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + output.trim());
+        }
+        return output.lines().filter(line -> !line.isBlank()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package tests;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChangeImpactTest {
+    private static final Map<String, Set<String>> DEPENDENCIES = Map.of(
+            "web.steps.ContactFormSteps", Set.of("web.pages.ContactPage", "web.utils.DriverFactory"),
+            "web.pages.ContactPage", Set.of("utils.ConfigUtils"),
+            "api.steps.WeatherAPISteps", Set.of("api.services.WeatherService"));
+
+    @Test
+    public void changedGlueClassIsAffected() {
+        ChangeImpact impact = impact("src/test/java/web/steps/ContactFormSteps.java");
+
+        assertTrue(impact.affects(Set.of("web.steps.ContactFormSteps")));
+        assertFalse(impact.affects(Set.of("api.steps.WeatherAPISteps")));
+    }
+
+    @Test
+    public void changeReachedThroughDependenciesAffectsGlue() {
+        ChangeImpact impact = impact("src/test/java/utils/ConfigUtils.java");
+
+        assertTrue(impact.affects(Set.of("web.steps.ContactFormSteps")));
+        assertFalse(impact.affects(Set.of("api.steps.WeatherAPISteps")));
+    }
+
+    @Test
+    public void featureChangeOnlyMarksThatFeature() {
+        ChangeImpact impact = impact("src/test/resources/features/web.feature");
+
+        assertTrue(impact.isFeatureChanged("src/test/resources/features/web.feature"));
+        assertFalse(impact.isFeatureChanged("src/test/resources/features/api.feature"));
+        assertFalse(impact.affects(Set.of("web.steps.ContactFormSteps")));
+    }
+
+    @Test
+    public void buildAndSharedResourcesAffectEverything() {
+        assertTrue(impact("pom.xml").affects(Set.of("api.steps.WeatherAPISteps")));
+        assertTrue(impact("src/test/resources/config.properties").affects(Set.of("api.steps.WeatherAPISteps")));
+        assertTrue(impact("src/test/resources/config.properties").isFeatureChanged("src/test/resources/features/api.feature"));
+        assertFalse(impact("src/test/resources/img/report.png").affects(Set.of("api.steps.WeatherAPISteps")));
+    }
+
+    @Test
+    public void readsDependenciesFromProjectSources() {
+        ChangeImpact impact = new ChangeImpact(Set.of("src/test/java/web/pages/ContactPage.java"), false,
+                ChangeImpact.readDependencies());
+
+        assertTrue(impact.affects(Set.of("web.steps.ContactFormSteps")));
+        assertFalse(impact.affects(Set.of("api.steps.WeatherAPISteps")));
+    }
+
+    private static ChangeImpact impact(String changedFile) {
+        return new ChangeImpact(Set.of(changedFile), false, DEPENDENCIES);
+    }
+}
@@ -0,0 +1,81 @@
+package tests;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import org.junit.AssumptionViolatedException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports each scenario run by {@link ParallelCucumberPhase} to JUnit as a test named after the
+ * scenario, grouped under its feature file. Events arrive on the scenario threads as they happen.
+ */
+public class JUnitNotifierPlugin implements ConcurrentEventListener {
+    private static final AtomicInteger failures = new AtomicInteger();
+    private static volatile RunNotifier notifier;
+
+    // Cucumber creates the plugin itself, so the phase being run hands over its notifier here
+    static void attach(RunNotifier runNotifier) {
+        failures.set(0);
+        notifier = runNotifier;
+    }
+
+    static void detach() {
+        notifier = null;
+    }
+
+    static int getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        RunNotifier current = notifier;
+        if (current != null) {
+            current.fireTestStarted(describe(event.getTestCase()));
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        RunNotifier current = notifier;
+        if (current == null) {
+            return;
+        }
+        Description description = describe(event.getTestCase());
+        Result result = event.getResult();
+        switch (result.getStatus()) {
+            case PASSED:
+                break;
+            case SKIPPED:
+                current.fireTestAssumptionFailed(new Failure(description, result.getError() != null
+                        ? result.getError() : new AssumptionViolatedException("Scenario skipped")));
+                break;
+            default:
+                failures.incrementAndGet();
+                current.fireTestFailure(new Failure(description, result.getError() != null
+                        ? result.getError() : new IllegalStateException("Scenario " + result.getStatus())));
+                break;
+        }
+        current.fireTestFinished(description);
+    }
+
+    // Outline rows share a name, so the test case id keeps their descriptions apart
+    private static Description describe(TestCase testCase) {
+        String path = testCase.getUri().getSchemeSpecificPart();
+        String feature = path.substring(path.lastIndexOf('/') + 1).replace(".feature", "");
+        return Description.createTestDescription(feature,
+                testCase.getName() + " (line " + testCase.getLocation().getLine() + ")", testCase.getId());
+    }
+}
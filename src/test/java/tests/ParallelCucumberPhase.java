@@ -0,0 +1,84 @@
+package tests;
+
+import io.cucumber.core.cli.Main;
+import io.cucumber.junit.CucumberOptions;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs one selection phase on Cucumber's own runtime with {@code --threads}, so scenarios run
+ * concurrently. The JUnit 4 {@link io.cucumber.junit.Cucumber} runner only runs whole feature files in
+ * parallel, which leaves every scenario of a feature on one thread. Scenarios are reported to JUnit
+ * through {@link JUnitNotifierPlugin}.
+ */
+public class ParallelCucumberPhase extends Runner {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelCucumberPhase.class);
+
+    private final String name;
+    private final List<String> arguments = new ArrayList<>();
+    private final Description description;
+
+    ParallelCucumberPhase(Class<?> testClass, String name, CucumberOptions options, List<String> features,
+                          String tags, int threads) {
+        this.name = name;
+        this.description = Description.createSuiteDescription(testClass.getName() + " [" + name + "]");
+        if (options != null) {
+            for (String glue : options.glue()) {
+                arguments.add("--glue");
+                arguments.add(glue);
+            }
+            for (String plugin : options.plugin()) {
+                arguments.add("--plugin");
+                arguments.add(plugin);
+            }
+        }
+        arguments.add("--plugin");
+        arguments.add(JUnitNotifierPlugin.class.getName());
+        arguments.add("--threads");
+        arguments.add(String.valueOf(threads));
+        if (tags != null && !tags.isBlank()) {
+            arguments.add("--tags");
+            arguments.add(tags);
+        }
+        arguments.addAll(features);
+    }
+
+    /** Features of a run without selection: {@code cucumber.features} if set, otherwise the runner's. */
+    static List<String> defaultFeatures(CucumberOptions options) {
+        String features = System.getProperty("cucumber.features");
+        if (features != null) {
+            return Arrays.asList(features.split(","));
+        }
+        return options != null ? Arrays.asList(options.features()) : List.of();
+    }
+
+    @Override
+    public Description getDescription() {
+        return description;
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        logger.info("Running phase '{}' on Cucumber with arguments {}", name, arguments);
+        JUnitNotifierPlugin.attach(notifier);
+        byte exitStatus;
+        try {
+            exitStatus = Main.run(arguments.toArray(new String[0]), Thread.currentThread().getContextClassLoader());
+        } finally {
+            JUnitNotifierPlugin.detach();
+        }
+        // Errors outside scenarios (e.g. unparsable features or glue) only show up in the exit status
+        if (exitStatus != 0 && JUnitNotifierPlugin.getFailures() == 0) {
+            notifier.fireTestFailure(new Failure(description,
+                    new IllegalStateException("Cucumber phase '" + name + "' exited with status " + exitStatus)));
+        }
+    }
+}
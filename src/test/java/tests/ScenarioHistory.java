@@ -0,0 +1,184 @@
+package tests;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Last known outcome, duration and step definition classes of every scenario, keyed by feature
+ * file and line. Stored as JSON in {@code selection.history} (default {@code .scenario-history.json})
+ * so it survives {@code mvn clean}.
+ */
+public class ScenarioHistory {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioHistory.class);
+    private static final Path HISTORY_FILE = Paths.get(ConfigUtils.getProperty("selection.history", ".scenario-history.json"));
+    private static final Json JSON = new Json();
+
+    public static class Entry {
+        private final String feature;
+        private final int line;
+        private final String name;
+        private final String featureHash;
+        private final String status;
+        private final long durationMs;
+        private final Set<String> glueClasses;
+
+        public Entry(String feature, int line, String name, String featureHash, String status, long durationMs,
+                     Set<String> glueClasses) {
+            this.feature = feature;
+            this.line = line;
+            this.name = name;
+            this.featureHash = featureHash;
+            this.status = status;
+            this.durationMs = durationMs;
+            this.glueClasses = new TreeSet<>(glueClasses);
+        }
+
+        public String getFeature() {
+            return feature;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getFeatureHash() {
+            return featureHash;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public Set<String> getGlueClasses() {
+            return glueClasses;
+        }
+
+        public boolean isFailed() {
+            return !"PASSED".equals(status) && !"SKIPPED".equals(status);
+        }
+
+        String key() {
+            return ScenarioHistory.key(feature, line);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("feature", feature);
+            map.put("line", line);
+            map.put("name", name);
+            map.put("featureHash", featureHash);
+            map.put("status", status);
+            map.put("durationMs", durationMs);
+            map.put("glueClasses", new ArrayList<>(glueClasses));
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Entry fromMap(Map<String, Object> map) {
+            return new Entry(
+                    (String) map.get("feature"),
+                    ((Number) map.get("line")).intValue(),
+                    (String) map.get("name"),
+                    (String) map.get("featureHash"),
+                    (String) map.get("status"),
+                    ((Number) map.get("durationMs")).longValue(),
+                    new TreeSet<>((List<String>) map.get("glueClasses")));
+        }
+    }
+
+    public static synchronized Map<String, Entry> load() {
+        Map<String, Entry> history = new LinkedHashMap<>();
+        if (!Files.exists(HISTORY_FILE)) {
+            return history;
+        }
+        try {
+            String content = new String(Files.readAllBytes(HISTORY_FILE), StandardCharsets.UTF_8);
+            List<Map<String, Object>> entries = JSON.toType(content, Json.LIST_OF_MAPS_TYPE);
+            for (Map<String, Object> map : entries) {
+                Entry entry = Entry.fromMap(map);
+                history.put(entry.key(), entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable scenario history {}", HISTORY_FILE, e);
+            history.clear();
+        }
+        return history;
+    }
+
+    public static synchronized void merge(Collection<Entry> entries) {
+        Map<String, Entry> history = load();
+        for (Entry entry : entries) {
+            history.put(entry.key(), entry);
+        }
+        // Lines recorded against an older version of a feature file may point at other scenarios now. Failures
+        // are kept (and matched by name) until the scenario has run again, so fixing a feature file does not
+        // lose them
+        Set<String> recorded = new HashSet<>();
+        entries.forEach(entry -> recorded.add(nameKey(entry.feature, entry.name)));
+        history.values().removeIf(entry -> {
+            String hash = featureHash(entry.feature);
+            if (entry.featureHash.equals(hash)) {
+                return false;
+            }
+            return !entry.isFailed() || hash.isEmpty() || recorded.contains(nameKey(entry.feature, entry.name));
+        });
+
+        List<Map<String, Object>> serialized = new ArrayList<>();
+        history.values().forEach(entry -> serialized.add(entry.toMap()));
+        try {
+            Files.write(HISTORY_FILE, JSON.toJson(serialized).getBytes(StandardCharsets.UTF_8));
+            logger.info("Scenario history updated with {} scenarios ({} known)", entries.size(), history.size());
+        } catch (IOException e) {
+            logger.error("Failed to write scenario history {}", HISTORY_FILE, e);
+        }
+    }
+
+    public static String featureHash(String feature) {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(Paths.get(feature)));
+            return Long.toHexString(crc.getValue());
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /** Feature path relative to the working directory, with forward slashes, or null if not a file. */
+    public static String featurePath(URI uri) {
+        if (!"file".equals(uri.getScheme())) {
+            return null;
+        }
+        Path relative = Paths.get("").toAbsolutePath().relativize(Paths.get(uri));
+        return relative.toString().replace('\\', '/');
+    }
+
+    static String key(String feature, int line) {
+        return feature + ":" + line;
+    }
+
+    static String nameKey(String feature, String name) {
+        return feature + "\n" + name;
+    }
+}
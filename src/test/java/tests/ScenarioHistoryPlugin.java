@@ -0,0 +1,68 @@
+package tests;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the outcome, duration and step definition classes (steps and hooks) of every scenario
+ * into {@link ScenarioHistory}, for {@link SelectiveCucumber} to plan the next run.
+ */
+public class ScenarioHistoryPlugin implements ConcurrentEventListener {
+    private final Map<UUID, Set<String>> glueByTestCase = new ConcurrentHashMap<>();
+    private final List<ScenarioHistory.Entry> finished = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> ScenarioHistory.merge(finished));
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        String glueClass = glueClass(event.getTestStep().getCodeLocation());
+        if (glueClass != null) {
+            glueByTestCase.computeIfAbsent(event.getTestCase().getId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(glueClass);
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        String feature = ScenarioHistory.featurePath(testCase.getUri());
+        Set<String> glueClasses = glueByTestCase.remove(testCase.getId());
+        if (feature == null) {
+            return;
+        }
+        finished.add(new ScenarioHistory.Entry(
+                feature,
+                testCase.getLocation().getLine(),
+                testCase.getName(),
+                ScenarioHistory.featureHash(feature),
+                event.getResult().getStatus().name(),
+                event.getResult().getDuration().toMillis(),
+                glueClasses != null ? glueClasses : Collections.emptySet()));
+    }
+
+    // Code locations look like "web.steps.ContactFormSteps.submitForm()"
+    private static String glueClass(String codeLocation) {
+        if (codeLocation == null) {
+            return null;
+        }
+        int paren = codeLocation.indexOf('(');
+        String method = paren >= 0 ? codeLocation.substring(0, paren) : codeLocation;
+        int dot = method.lastIndexOf('.');
+        return dot > 0 ? method.substring(0, dot) : null;
+    }
+}
@@ -0,0 +1,238 @@
+package tests;
+
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.resource.Resource;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the scenarios of a run into phases using {@link ScenarioHistory} and {@link ChangeImpact}:
+ * scenarios that failed last time, then scenarios that are new or whose feature file or step
+ * definition classes changed since {@code selection.since}, then the rest.
+ *
+ * <p>{@code selection.mode}: {@code all} (default) runs everything as before, {@code prioritize}
+ * runs all three phases in order, {@code impacted} skips the last phase. Scenarios left out by the
+ * run's tag expression are not planned at all, so they count neither as run nor as skipped.
+ */
+public class ScenarioSelection {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioSelection.class);
+    private static final String MODE = ConfigUtils.getProperty("selection.mode", "all").toLowerCase();
+    private static final String SINCE = ConfigUtils.getProperty("selection.since", "HEAD");
+    private static final Path REPORT_FILE = Paths.get("target", "scenario-selection.properties");
+
+    private final Map<String, List<Scenario>> phases = new LinkedHashMap<>();
+    private final List<Scenario> skipped = new ArrayList<>();
+    private final long knownDurationMs;
+    private final long skippedDurationMs;
+
+    public static class Scenario {
+        private final String feature;
+        private final int line;
+        private final String name;
+        private final List<String> tags;
+
+        Scenario(String feature, int line, String name, List<String> tags) {
+            this.feature = feature;
+            this.line = line;
+            this.name = name;
+            this.tags = tags;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        int getLine() {
+            return line;
+        }
+
+        List<String> getTags() {
+            return tags;
+        }
+    }
+
+    private ScenarioSelection(List<Scenario> scenarios) {
+        Map<String, ScenarioHistory.Entry> history = ScenarioHistory.load();
+        // Editing a feature file shifts lines and changes its hash, so failures are also looked up by name
+        Map<String, ScenarioHistory.Entry> failuresByName = new HashMap<>();
+        history.values().stream()
+                .filter(ScenarioHistory.Entry::isFailed)
+                .forEach(entry -> failuresByName.put(ScenarioHistory.nameKey(entry.getFeature(), entry.getName()), entry));
+        ChangeImpact impact = ChangeImpact.since(SINCE);
+        List<Scenario> failed = new ArrayList<>();
+        List<Scenario> impacted = new ArrayList<>();
+        List<Scenario> rest = new ArrayList<>();
+        long known = 0;
+
+        for (Scenario scenario : scenarios) {
+            ScenarioHistory.Entry entry = history.get(ScenarioHistory.key(scenario.feature, scenario.line));
+            boolean current = entry != null
+                    && entry.getFeatureHash().equals(ScenarioHistory.featureHash(scenario.feature));
+            if (current) {
+                known += entry.getDurationMs();
+            }
+            boolean lastFailed = current
+                    ? entry.isFailed()
+                    : failuresByName.containsKey(ScenarioHistory.nameKey(scenario.feature, scenario.name));
+            if (lastFailed) {
+                failed.add(scenario);
+            } else if (!current || impact.isFeatureChanged(scenario.feature) || impact.affects(entry.getGlueClasses())) {
+                impacted.add(scenario);
+            } else {
+                rest.add(scenario);
+            }
+        }
+
+        phases.put("failed", failed);
+        phases.put("impacted", impacted);
+        if ("impacted".equals(MODE)) {
+            skipped.addAll(rest);
+        } else {
+            phases.put("remaining", rest);
+        }
+        knownDurationMs = known;
+        skippedDurationMs = skipped.stream()
+                .map(scenario -> history.get(ScenarioHistory.key(scenario.feature, scenario.line)))
+                .mapToLong(ScenarioHistory.Entry::getDurationMs)
+                .sum();
+
+        logger.info("Scenario selection ({} since {}): {} failed, {} impacted, {} remaining, {} skipped",
+                MODE, SINCE, failed.size(), impacted.size(), rest.size() - skipped.size(), skipped.size());
+    }
+
+    /**
+     * Plans the run for the scenarios of the given feature files or directories that match the tag
+     * expression (blank for all), or returns null when selection is off or feature paths were given
+     * explicitly with {@code cucumber.features}.
+     */
+    public static ScenarioSelection plan(String tagExpression, String... featurePaths) {
+        if ("all".equals(MODE) || System.getProperty("cucumber.features") != null) {
+            return null;
+        }
+        if (!"prioritize".equals(MODE) && !"impacted".equals(MODE)) {
+            throw new IllegalArgumentException("Unsupported selection.mode: " + MODE);
+        }
+        Expression tags = tagExpression == null || tagExpression.isBlank()
+                ? null : TagExpressionParser.parse(tagExpression);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String featurePath : featurePaths) {
+            try (Stream<Path> files = Files.walk(Paths.get(featurePath))) {
+                for (Path file : files.filter(path -> path.toString().endsWith(".feature")).sorted()
+                        .collect(Collectors.toList())) {
+                    readScenarios(file).stream()
+                            .filter(scenario -> tags == null || tags.evaluate(scenario.tags))
+                            .forEach(scenarios::add);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read features from " + featurePath, e);
+            }
+        }
+        return new ScenarioSelection(scenarios);
+    }
+
+    /** Phase name to {@code cucumber.features} value (feature files with scenario lines), empty phases left out. */
+    public Map<String, String> getPhaseFeatures() {
+        Map<String, String> features = new LinkedHashMap<>();
+        phases.forEach((phase, scenarios) -> {
+            if (!scenarios.isEmpty()) {
+                Map<String, StringBuilder> linesByFeature = new LinkedHashMap<>();
+                for (Scenario scenario : scenarios) {
+                    linesByFeature.computeIfAbsent(scenario.feature, StringBuilder::new).append(':').append(scenario.line);
+                }
+                features.put(phase, linesByFeature.values().stream()
+                        .map(StringBuilder::toString)
+                        .collect(Collectors.joining(",")));
+            }
+        });
+        return features;
+    }
+
+    /**
+     * Writes the phase timings and what selection gained: in {@code impacted} mode the scenario time
+     * skipped, and in both modes how soon failed and changed scenarios gave feedback compared with the
+     * last full run, whose duration is estimated from the scenario history.
+     */
+    public void report(Map<String, Long> phaseDurationsMs) {
+        long actualMs = phaseDurationsMs.values().stream().mapToLong(Long::longValue).sum();
+        long failedFeedbackMs = phaseDurationsMs.getOrDefault("failed", 0L);
+        long prioritizedFeedbackMs = failedFeedbackMs + phaseDurationsMs.getOrDefault("impacted", 0L);
+        long feedbackGainMs = knownDurationMs > 0 ? Math.max(knownDurationMs - prioritizedFeedbackMs, 0) : 0;
+
+        Properties report = new Properties();
+        report.setProperty("selection.mode", MODE);
+        report.setProperty("selection.since", SINCE);
+        phases.forEach((phase, scenarios) -> {
+            report.setProperty("scenarios." + phase, String.valueOf(scenarios.size()));
+            report.setProperty("time." + phase + "Ms", String.valueOf(phaseDurationsMs.getOrDefault(phase, 0L)));
+        });
+        report.setProperty("scenarios.skipped", String.valueOf(skipped.size()));
+        report.setProperty("time.actualMs", String.valueOf(actualMs));
+        report.setProperty("time.lastFullRunEstimateMs", String.valueOf(knownDurationMs));
+        report.setProperty("time.savedEstimateMs", String.valueOf(skippedDurationMs));
+        report.setProperty("feedback.failedFinishedMs", String.valueOf(failedFeedbackMs));
+        report.setProperty("feedback.impactedFinishedMs", String.valueOf(prioritizedFeedbackMs));
+        report.setProperty("feedback.soonerThanFullRunEstimateMs", String.valueOf(feedbackGainMs));
+
+        logger.info("Scenario selection ran in {} ms; skipping {} scenarios saved about {} ms of scenario time "
+                + "(last known total {} ms)", actualMs, skipped.size(), skippedDurationMs, knownDurationMs);
+        logger.info("Failed scenarios finished after {} ms, changed scenarios after {} ms: about {} ms sooner "
+                + "than a full run", failedFeedbackMs, prioritizedFeedbackMs, feedbackGainMs);
+        skipped.forEach(scenario -> logger.debug("Skipped: {} ({}:{})", scenario.name, scenario.feature, scenario.line));
+
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            try (OutputStream out = Files.newOutputStream(REPORT_FILE)) {
+                report.store(out, "Scenario selection");
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write scenario selection report", e);
+        }
+    }
+
+    // One entry per pickle, parsed by Cucumber itself so lines, names and inherited tags match what it runs
+    static List<Scenario> readScenarios(Path file) {
+        String feature = file.toString().replace('\\', '/');
+        FeatureParser parser = new FeatureParser(UUID::randomUUID);
+        Optional<Feature> parsed = parser.parseResource(new Resource() {
+            @Override
+            public URI getUri() {
+                return file.toAbsolutePath().toUri();
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(file);
+            }
+        });
+        List<Scenario> scenarios = new ArrayList<>();
+        parsed.ifPresent(parsedFeature -> {
+            for (Pickle pickle : parsedFeature.getPickles()) {
+                scenarios.add(new Scenario(feature, pickle.getLocation().getLine(), pickle.getName(), pickle.getTags()));
+            }
+        });
+        return scenarios;
+    }
+}
@@ -0,0 +1,95 @@
+package tests;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScenarioSelectionTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsOnePicklePerScenarioAndExamplesRow() throws IOException {
+        Path feature = write("sample.feature",
+                "@smoke",
+                "Feature: Sample",
+                "",
+                "  @plain",
+                "  Scenario: Doc string",
+                "    Given a payload",
+                "      \"\"\"",
+                "      | not | a table |",
+                "      Scenario: not a scenario",
+                "      \"\"\"",
+                "",
+                "  Scenario Outline: Outline <n>",
+                "    Given step <n>",
+                "",
+                "    @first",
+                "    Examples:",
+                "      | n |",
+                "      | 1 |",
+                "      | 2 |",
+                "",
+                "    @second",
+                "    Examples:",
+                "      | n |",
+                "      | 3 |");
+
+        List<ScenarioSelection.Scenario> scenarios = ScenarioSelection.readScenarios(feature);
+
+        assertEquals(4, scenarios.size());
+        assertScenario(scenarios.get(0), 5, "Doc string", List.of("@smoke", "@plain"));
+        assertScenario(scenarios.get(1), 18, "Outline 1", List.of("@smoke", "@first"));
+        assertScenario(scenarios.get(2), 19, "Outline 2", List.of("@smoke", "@first"));
+        assertScenario(scenarios.get(3), 24, "Outline 3", List.of("@smoke", "@second"));
+    }
+
+    @Test
+    public void readsFeaturesInOtherLanguages() throws IOException {
+        Path feature = write("exemple.feature",
+                "# language: fr",
+                "Fonctionnalité: Exemple",
+                "",
+                "  Scénario: Premier",
+                "    Soit une étape");
+
+        List<ScenarioSelection.Scenario> scenarios = ScenarioSelection.readScenarios(feature);
+
+        assertEquals(1, scenarios.size());
+        assertScenario(scenarios.get(0), 4, "Premier", List.of());
+    }
+
+    @Test
+    public void readsTheProjectFeatures() {
+        List<ScenarioSelection.Scenario> scenarios =
+                ScenarioSelection.readScenarios(Paths.get("src/test/resources/features/web.feature"));
+
+        assertFalse(scenarios.isEmpty());
+        scenarios.forEach(scenario -> assertTrue(scenario.getName() + " is not tagged @web",
+                scenario.getTags().contains("@web")));
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void assertScenario(ScenarioSelection.Scenario scenario, int line, String name, List<String> tags) {
+        assertEquals(name, scenario.getName());
+        assertEquals(line, scenario.getLine());
+        assertEquals(tags, scenario.getTags());
+    }
+}
@@ -0,0 +1,99 @@
+package tests;
+
+import io.cucumber.junit.Cucumber;
+import io.cucumber.junit.CucumberOptions;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cucumber runner that applies {@link ScenarioSelection}: each selection phase runs as its own
+ * Cucumber instance restricted to that phase's scenario lines, one phase after the other.
+ * With {@code scenario.threads} above 1 the scenarios of each phase run concurrently through
+ * {@link ParallelCucumberPhase}. With {@code selection.mode=all} and one thread it behaves exactly
+ * like {@link Cucumber}.
+ */
+public class SelectiveCucumber extends ParentRunner<Runner> {
+    private static final Logger logger = LoggerFactory.getLogger(SelectiveCucumber.class);
+    private static final String FEATURES_PROPERTY = "cucumber.features";
+    private static final int THREADS = Integer.parseInt(ConfigUtils.getProperty("scenario.threads", "1"));
+
+    private final List<Runner> phases = new ArrayList<>();
+    private final Map<Runner, String> phaseNames = new LinkedHashMap<>();
+    private final Map<String, Long> phaseDurationsMs = new LinkedHashMap<>();
+    private final ScenarioSelection selection;
+
+    public SelectiveCucumber(Class<?> testClass) throws InitializationError {
+        super(testClass);
+        CucumberOptions options = testClass.getAnnotation(CucumberOptions.class);
+        // Same precedence as Cucumber: the cucumber.filter.tags property replaces the annotation's tags
+        String tags = System.getProperty("cucumber.filter.tags", options != null ? options.tags() : "");
+        selection = ScenarioSelection.plan(tags, options != null ? options.features() : new String[0]);
+        if (selection == null) {
+            addPhase("all", THREADS > 1
+                    ? new ParallelCucumberPhase(testClass, "all", options,
+                            ParallelCucumberPhase.defaultFeatures(options), tags, THREADS)
+                    : new Cucumber(testClass));
+            return;
+        }
+        for (Map.Entry<String, String> phase : selection.getPhaseFeatures().entrySet()) {
+            if (THREADS > 1) {
+                addPhase(phase.getKey(), new ParallelCucumberPhase(testClass, phase.getKey(), options,
+                        Arrays.asList(phase.getValue().split(",")), tags, THREADS));
+                continue;
+            }
+            System.setProperty(FEATURES_PROPERTY, phase.getValue());
+            try {
+                addPhase(phase.getKey(), new Cucumber(testClass));
+            } finally {
+                System.clearProperty(FEATURES_PROPERTY);
+            }
+        }
+    }
+
+    private void addPhase(String name, Runner runner) {
+        phases.add(runner);
+        phaseNames.put(runner, name);
+    }
+
+    @Override
+    protected List<Runner> getChildren() {
+        return phases;
+    }
+
+    @Override
+    protected Description describeChild(Runner child) {
+        return child.getDescription();
+    }
+
+    @Override
+    protected void runChild(Runner child, RunNotifier notifier) {
+        String phase = phaseNames.get(child);
+        long start = System.nanoTime();
+        child.run(notifier);
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        phaseDurationsMs.put(phase, durationMs);
+        if (selection != null) {
+            logger.info("Selection phase '{}' finished in {} ms", phase, durationMs);
+        }
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        super.run(notifier);
+        if (selection != null) {
+            selection.report(phaseDurationsMs);
+        }
+    }
+}
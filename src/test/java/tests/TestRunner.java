@@ -1,14 +1,13 @@
 package tests;
 
-import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
 import org.junit.runner.RunWith;
 
-@RunWith(Cucumber.class)
+@RunWith(SelectiveCucumber.class)
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"api.steps", "web.steps"},
-        plugin = {"io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"}
+        plugin = {"io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm", "tests.ScenarioHistoryPlugin"}
 )
 public class TestRunner {
 }
\ No newline at end of file
@@ -9,14 +9,17 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import utils.ConfigUtils;
+import web.utils.PageMetrics;
 
 import java.time.Duration;
 
 public class ContactPage {
     private static final Logger logger = LoggerFactory.getLogger(ContactPage.class);
     private static final String contactUrl = ConfigUtils.getProperty("web.contact.url");
+    private static final String SUBMIT_MARK = "contact-form-submit";
     private WebDriver driver;
     private WebDriverWait wait;
+    private PageMetrics loadMetrics;
 
     @FindBy(id = "et_pb_contact_name_0")
     private WebElement nameField;
@@ -42,7 +45,18 @@ public class ContactPage {
     public static ContactPage  load(WebDriver driver){
         driver.get(contactUrl);
         logger.info("Navigated to contact page");
-        return new ContactPage(driver);
+        ContactPage page = new ContactPage(driver);
+        page.loadMetrics = PageMetrics.collect(driver, null, null);
+        return page;
+    }
+
+    public PageMetrics getLoadMetrics() {
+        return loadMetrics;
+    }
+
+    // Only the form's own POST to the page URL is measured
+    public PageMetrics collectSubmitMetrics() {
+        return PageMetrics.collect(driver, SUBMIT_MARK, contactUrl);
     }
 
     public void fillForm(String name, String message) {
@@ -53,6 +67,7 @@ public class ContactPage {
     }
 
     public void submitForm() {
+        PageMetrics.mark(driver, SUBMIT_MARK);
         submitButton.click();
         logger.info("Form submitted");
     }
@@ -71,6 +86,17 @@ public class ContactPage {
         }
     }
 
+    public boolean waitForFeedback(Duration timeout) {
+        try {
+            new WebDriverWait(driver, timeout).until(ExpectedConditions.or(
+                    ExpectedConditions.visibilityOf(successMessage),
+                    ExpectedConditions.visibilityOf(errorMessage)));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     public boolean isErrorMessageDisplayed() {
         try {
             wait.until(ExpectedConditions.visibilityOf(errorMessage));
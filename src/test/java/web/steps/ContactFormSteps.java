@@ -1,6 +1,7 @@
 package web.steps;
 
 import io.cucumber.java.After;
+import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -12,38 +13,107 @@ import org.junit.Assert;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.devtools.NetworkInterceptor;
-import org.openqa.selenium.remote.http.HttpResponse;
-import org.openqa.selenium.remote.http.Route;
+import org.openqa.selenium.remote.http.HttpRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import web.pages.ContactPage;
 import web.utils.DriverFactory;
+import web.utils.NetworkFaultInjector;
+import web.utils.NetworkProfile;
+import web.utils.PageMetrics;
+import web.utils.PageMetricsStore;
+import web.utils.RouteFault;
 
 import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 import static org.junit.Assert.*;
 import static org.openqa.selenium.remote.http.HttpMethod.POST;
 
 public class ContactFormSteps {
     private static final Logger logger = LoggerFactory.getLogger(ContactFormSteps.class);
+    private static final Duration FEEDBACK_TIMEOUT = Duration.ofSeconds(30);
+    private static final String FORM_SUBMISSION_URL = "*ultimateqa.com/filling-out-forms/*";
+    private static final Predicate<HttpRequest> FORM_SUBMISSION = req ->
+            req.getUri().contains("ultimateqa.com/filling-out-forms/") && req.getMethod() == POST;
     private WebDriver driver;
     private DriverFactory driverFactory;
     private Har har;
     private List<HarEntry> entries;
     private ContactPage contactPage;
     private String currentBrowser;
+    private NetworkFaultInjector faultInjector;
+    private long feedbackMillis = -1;
+    private String scenarioName;
+    private String networkCondition = PageMetricsStore.CLEAN;
+    private boolean submitMetricsPending;
+    private final Map<String, List<PageMetrics>> budgetSamples = new HashMap<>();
+
+    private NetworkFaultInjector faultInjector() {
+        if (faultInjector == null) {
+            faultInjector = NetworkFaultInjector.attach(driver);
+        }
+        return faultInjector;
+    }
+
+    private NetworkFaultInjector injectFault(RouteFault fault) {
+        networkCondition = PageMetricsStore.FAULTED;
+        return faultInjector().inject(FORM_SUBMISSION_URL, FORM_SUBMISSION, fault);
+    }
+
+    private void recordPageMetrics(String phase, PageMetrics metrics) {
+        PageMetricsStore.record(scenarioName, currentBrowser, phase, networkCondition, metrics);
+        // Budgets only use this scenario's samples taken without throttling or faults
+        if (PageMetricsStore.CLEAN.equals(networkCondition)) {
+            budgetSamples.computeIfAbsent(phase, key -> new ArrayList<>()).add(metrics);
+        }
+        Allure.addAttachment("Page metrics (" + phase + ", " + currentBrowser + ", " + networkCondition + ")",
+                metrics.toString());
+    }
+
+    private void submit() {
+        contactPage.submitForm();
+        submitMetricsPending = true;
+    }
+
+    // Plain submit steps do not wait for the response, so their metrics are taken once the scenario's
+    // checks have run
+    private void recordPendingSubmitMetrics() {
+        if (!submitMetricsPending) {
+            return;
+        }
+        submitMetricsPending = false;
+        try {
+            recordPageMetrics("submit", contactPage.collectSubmitMetrics());
+        } catch (Exception e) {
+            logger.warn("Could not collect form submission metrics", e);
+        }
+    }
+
+    private void assertPercentileWithin(String phase, String metricName, ToDoubleFunction<PageMetrics> metric,
+                                        double budget, int percentile) {
+        List<PageMetrics> samples = budgetSamples.getOrDefault(phase, List.of());
+        double value = PageMetricsStore.percentile(samples, metric, percentile);
+        assertTrue("No clean " + metricName + " samples reported by " + currentBrowser + " in this scenario", value >= 0);
+        assertTrue(metricName + " p" + percentile + " on " + currentBrowser + " is " + value
+                + ", budget is " + budget, value <= budget);
+        logger.info("{} p{} on {} over {} samples: {} (budget {})",
+                metricName, percentile, currentBrowser, samples.size(), value, budget);
+    }
 
     private void setupServerErrorSimulator() {
-        NetworkInterceptor interceptor = new NetworkInterceptor(
-                driver,
-                Route.matching(req ->
-                                req.getUri().contains("ultimateqa.com/filling-out-forms/") &&
-                                        req.getMethod() == POST)
-                        .to(() -> req -> new HttpResponse()
-                                .setStatus(500))
-        );
+        injectFault(RouteFault.status(500));
+    }
+
+    @Before("@web")
+    public void captureScenario(Scenario scenario) {
+        scenarioName = scenario.getName();
     }
 
     @Given("I am on the contact page")
@@ -52,6 +122,7 @@ public class ContactFormSteps {
         driver = driverFactory.getDriver();
         currentBrowser = driverFactory.getCurrentBrowser();
         contactPage = ContactPage.load(driver);
+        recordPageMetrics("load", contactPage.getLoadMetrics());
     }
 
     @Given("I am on the contact page using {string}")
@@ -60,6 +131,7 @@ public class ContactFormSteps {
         driver = driverFactory.getDriver();
         currentBrowser = driverFactory.getCurrentBrowser();
         contactPage = ContactPage.load(driver);
+        recordPageMetrics("load", contactPage.getLoadMetrics());
     }
 
     @Given("I am on the contact page with network logs")
@@ -68,6 +140,45 @@ public class ContactFormSteps {
         driver = driverFactory.getDriver();
         currentBrowser = driverFactory.getCurrentBrowser();
         contactPage = ContactPage.load(driver);
+        recordPageMetrics("load", contactPage.getLoadMetrics());
+    }
+
+    @When("I reload the contact page {int} more times")
+    public void reloadContactPage(int times) {
+        for (int i = 0; i < times; i++) {
+            contactPage = ContactPage.load(driver);
+            recordPageMetrics("load", contactPage.getLoadMetrics());
+        }
+    }
+
+    @Given("the network is throttled to {string}")
+    public void throttleNetwork(String profile) {
+        NetworkProfile networkProfile = NetworkProfile.fromLabel(profile);
+        faultInjector().throttle(networkProfile);
+        if (!PageMetricsStore.FAULTED.equals(networkCondition)) {
+            networkCondition = networkProfile == NetworkProfile.NO_THROTTLING
+                    ? PageMetricsStore.CLEAN : networkProfile.getLabel();
+        }
+    }
+
+    @Given("form submissions are delayed by {int} ms")
+    public void delayFormSubmissions(int latencyMs) {
+        injectFault(RouteFault.latency(Duration.ofMillis(latencyMs)));
+    }
+
+    @Given("{int}% of form submissions are dropped")
+    public void dropFormSubmissions(int percent) {
+        injectFault(RouteFault.dropped(percent / 100.0));
+    }
+
+    @Given("form submission responses are held for {int} ms")
+    public void delayFormSubmissionResponses(int delayMs) {
+        injectFault(RouteFault.delayedResponse(Duration.ofMillis(delayMs)));
+    }
+
+    @Given("only {int}% of the form submission response is delivered")
+    public void truncateFormSubmissionResponses(int percent) {
+        injectFault(RouteFault.partialResponse(percent / 100.0));
     }
 
     @When("I fill in the contact form with {string} as name and {string} as message")
@@ -78,19 +189,42 @@ public class ContactFormSteps {
 
     @When("I submit the form")
     public void submitForm() {
-        contactPage.submitForm();
+        submit();
     }
 
     @When("I submit the form and track logs")
     public void submitFormTrackLogs() {
         driverFactory.newHar();
-        contactPage.submitForm();
+        submit();
     }
 
     @When("I submit the form with server error occurring")
     public void submitFormWithServerError() {
         setupServerErrorSimulator();
+        submit();
+    }
+
+    @When("I submit the form and measure the time to feedback")
+    public void submitFormMeasuringFeedback() {
+        long start = System.nanoTime();
         contactPage.submitForm();
+        boolean feedbackShown = contactPage.waitForFeedback(FEEDBACK_TIMEOUT);
+        feedbackMillis = feedbackShown ? (System.nanoTime() - start) / 1_000_000 : -1;
+        recordPageMetrics("submit", contactPage.collectSubmitMetrics());
+        logger.info("Time to feedback on {}: {}", currentBrowser,
+                feedbackShown ? feedbackMillis + " ms" : "none within " + FEEDBACK_TIMEOUT.toMillis() + " ms");
+    }
+
+    // Each submission after the first starts from a fresh page, so every sample measures one form POST
+    @When("I submit the contact form {int} times and measure each submission")
+    public void submitFormRepeatedly(int times) {
+        for (int i = 0; i < times; i++) {
+            if (i > 0) {
+                reloadContactPage(1);
+            }
+            fillContactForm("Test User", "Test Message");
+            submitFormMeasuringFeedback();
+        }
     }
 
     @Then("I should see a success message after waiting")
@@ -112,6 +246,56 @@ public class ContactFormSteps {
         logger.info("Success not displayed verified");
     }
 
+    @Then("the form should give feedback within {int} ms")
+    public void verifyTimeToFeedback(int budgetMs) {
+        assertTrue("No feedback shown within " + FEEDBACK_TIMEOUT.toMillis() + " ms", feedbackMillis >= 0);
+        assertTrue("Time to feedback " + feedbackMillis + " ms exceeds budget of " + budgetMs + " ms",
+                feedbackMillis <= budgetMs);
+    }
+
+    @Then("the page should load within {int} ms at p{int}")
+    public void verifyLoadBudget(int budgetMs, int percentile) {
+        assertPercentileWithin("load", "Load time", PageMetrics::getLoadMs, budgetMs, percentile);
+    }
+
+    @Then("time to first byte should be within {int} ms at p{int}")
+    public void verifyTtfbBudget(int budgetMs, int percentile) {
+        assertPercentileWithin("load", "TTFB", PageMetrics::getTtfbMs, budgetMs, percentile);
+    }
+
+    @Then("DOMContentLoaded should fire within {int} ms at p{int}")
+    public void verifyDomContentLoadedBudget(int budgetMs, int percentile) {
+        assertPercentileWithin("load", "DOMContentLoaded", PageMetrics::getDomContentLoadedMs, budgetMs, percentile);
+    }
+
+    @Then("the largest contentful paint should be within {int} ms at p{int}")
+    public void verifyLcpBudget(int budgetMs, int percentile) {
+        assertPercentileWithin("load", "Largest contentful paint", PageMetrics::getLargestContentfulPaintMs,
+                budgetMs, percentile);
+    }
+
+    @Then("the layout shift should be at most {double} at p{int}")
+    public void verifyLayoutShiftBudget(double budget, int percentile) {
+        assertPercentileWithin("load", "Layout shift", PageMetrics::getLayoutShift, budget, percentile);
+    }
+
+    @Then("the page should transfer at most {int} KB")
+    public void verifyTransferBudget(int budgetKb) {
+        long transferKb = contactPage.getLoadMetrics().getTransferBytes() / 1024;
+        assertTrue("Page transferred " + transferKb + " KB, budget is " + budgetKb + " KB", transferKb <= budgetKb);
+    }
+
+    @Then("the form submission should complete within {int} ms at p{int}")
+    public void verifySubmitBudget(int budgetMs, int percentile) {
+        assertPercentileWithin("submit", "Form submission", PageMetrics::getLoadMs, budgetMs, percentile);
+    }
+
+    @Then("the form should not give feedback within {int} ms")
+    public void verifyFeedbackSlowerThan(int budgetMs) {
+        assertTrue("Feedback shown after " + feedbackMillis + " ms, expected it to take longer than " + budgetMs + " ms",
+                feedbackMillis < 0 || feedbackMillis > budgetMs);
+    }
+
     @Then("I should capture all network requests")
     public void i_should_capture_all_network_requests() {
         har = driverFactory.getHar();
@@ -177,7 +361,7 @@ public class ContactFormSteps {
                 });
     }
 
-    @After
+    @After("@web")
     public void cleanup(Scenario scenario) {
         try {
             if (scenario.isFailed() && driver != null) {
@@ -189,6 +373,10 @@ public class ContactFormSteps {
         } catch (Exception e) {
             logger.error("Failed to capture screenshot on test failure", e);
         } finally {
+            recordPendingSubmitMetrics();
+            if (faultInjector != null) {
+                faultInjector.close();
+            }
             if (driverFactory != null) {
                 driverFactory.quit();
             }
@@ -0,0 +1,276 @@
+package web.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.CdpInfo;
+import org.openqa.selenium.devtools.CdpVersionFinder;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.ConverterFunctions;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Serves many scenarios from a single Chrome process. Each scenario gets its own browser context
+ * (separate cookies, storage and cache) created through DevTools target management, and a WebDriver
+ * bound to that context's tab.
+ *
+ * <p>All contexts share one WebDriver session, so commands are serialised: every call made through a
+ * context's driver (or any element it returns) first focuses the context's tab. Page loads are the
+ * exception; they go through the context's own DevTools session so one context loading a page does
+ * not hold up the others. Intended for headless runs.
+ */
+public class BrowserContextPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContextPool.class);
+    private static final Duration CDP_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final Function<JsonInput, Map<String, Object>> AS_MAP = input -> input.read(Json.MAP_TYPE);
+
+    private static BrowserContextPool instance;
+
+    private final Object lock = new Object();
+    private final AtomicInteger openContexts = new AtomicInteger();
+    private ChromeDriver sharedDriver;
+    private Connection connection;
+    private CdpInfo cdpInfo;
+    private String anchorHandle;
+    private String activeHandle;
+
+    private BrowserContextPool() {
+    }
+
+    public static synchronized BrowserContextPool getInstance() {
+        if (instance == null) {
+            instance = new BrowserContextPool();
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "browser-context-pool-shutdown"));
+        }
+        return instance;
+    }
+
+    public IsolatedContext acquire() {
+        synchronized (lock) {
+            ensureStarted();
+            String contextId = send("Target.createBrowserContext", Map.of(),
+                    ConverterFunctions.map("browserContextId", String.class));
+            String targetId = send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId),
+                    ConverterFunctions.map("targetId", String.class));
+
+            // ChromeDriver uses the DevTools target id as the window handle
+            if (!sharedDriver.getWindowHandles().contains(targetId)) {
+                send("Target.disposeBrowserContext", Map.of("browserContextId", contextId), null);
+                throw new IllegalStateException("Tab " + targetId + " of browser context " + contextId
+                        + " is not visible to ChromeDriver");
+            }
+
+            IsolatedContext context = new IsolatedContext(contextId, targetId);
+            logger.info("Thread {}: Browser context {} created ({} open)",
+                    Thread.currentThread().getId(), contextId, openContexts.incrementAndGet());
+            return context;
+        }
+    }
+
+    public void release(IsolatedContext context) {
+        if (!context.released.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (lock) {
+            try {
+                if (context.devTools != null) {
+                    context.devTools.close();
+                }
+                send("Target.disposeBrowserContext", Map.of("browserContextId", context.contextId), null);
+                if (context.windowHandle.equals(activeHandle)) {
+                    sharedDriver.switchTo().window(anchorHandle);
+                    activeHandle = anchorHandle;
+                }
+                logger.info("Thread {}: Browser context {} disposed ({} open)",
+                        Thread.currentThread().getId(), context.contextId, openContexts.decrementAndGet());
+            } catch (Exception e) {
+                logger.error("Thread {}: Failed to dispose browser context {}",
+                        Thread.currentThread().getId(), context.contextId, e);
+            }
+        }
+    }
+
+    private void ensureStarted() {
+        if (sharedDriver != null) {
+            return;
+        }
+        WebDriverManager.chromedriver().setup();
+        sharedDriver = new ChromeDriver(DriverFactory.buildChromeOptions(null));
+        try {
+            connection = SeleniumCdpConnection.create(sharedDriver)
+                    .orElseThrow(() -> new IllegalStateException("Chrome did not expose a DevTools endpoint"));
+            String browserVersion = sharedDriver.getCapabilities().getBrowserVersion();
+            cdpInfo = new CdpVersionFinder().match(browserVersion)
+                    .orElseThrow(() -> new IllegalStateException("No DevTools protocol support for Chrome " + browserVersion));
+        } catch (RuntimeException e) {
+            shutdown();
+            throw e;
+        }
+        // The initial tab stays open so the session always has a window to fall back to
+        anchorHandle = sharedDriver.getWindowHandle();
+        activeHandle = anchorHandle;
+        logger.info("Shared Chrome process started for browser contexts");
+    }
+
+    private void focus(String windowHandle) {
+        if (!windowHandle.equals(activeHandle)) {
+            sharedDriver.switchTo().window(windowHandle);
+            activeHandle = windowHandle;
+        }
+    }
+
+    private <X> X send(String method, Map<String, Object> params, Function<JsonInput, X> mapper) {
+        Command<X> command;
+        if (mapper == null) {
+            command = new Command<>(method, params);
+        } else {
+            command = new Command<>(method, params, mapper);
+        }
+        // No session id: Target.* context management is only allowed on the browser-level session
+        return connection.sendAndWait(null, command, CDP_TIMEOUT);
+    }
+
+    private void shutdown() {
+        synchronized (lock) {
+            try {
+                if (connection != null) {
+                    connection.close();
+                    connection = null;
+                }
+                if (sharedDriver != null) {
+                    sharedDriver.quit();
+                    sharedDriver = null;
+                    logger.info("Shared Chrome process closed");
+                }
+            } catch (Exception e) {
+                logger.error("Error while closing shared Chrome process", e);
+            }
+        }
+    }
+
+    public class IsolatedContext {
+        private final String contextId;
+        private final String windowHandle;
+        private final WebDriver driver;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private DevTools devTools;
+
+        private IsolatedContext(String contextId, String windowHandle) {
+            this.contextId = contextId;
+            this.windowHandle = windowHandle;
+            this.driver = new ContextBoundDecorator(this).decorate(sharedDriver);
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public String getContextId() {
+            return contextId;
+        }
+
+        // Each context gets its own DevTools connection so event listeners (e.g. request interception)
+        // only see traffic from this context's tab
+        private synchronized DevTools getDevTools() {
+            if (devTools == null) {
+                Connection contextConnection = SeleniumCdpConnection.create(sharedDriver)
+                        .orElseThrow(() -> new IllegalStateException("Chrome did not expose a DevTools endpoint"));
+                devTools = new DevTools(cdpInfo::getDomains, contextConnection);
+                devTools.createSession(windowHandle);
+            }
+            return devTools;
+        }
+
+        private void navigate(String url) {
+            DevTools tools = getDevTools();
+            Map<String, Object> result = tools.send(new Command<>("Page.navigate", Map.of("url", url), AS_MAP));
+            if (result.get("errorText") != null) {
+                throw new WebDriverException("Navigation to " + url + " failed: " + result.get("errorText"));
+            }
+            String loaderId = (String) result.get("loaderId");
+            long deadline = System.nanoTime() + PAGE_LOAD_TIMEOUT.toNanos();
+            while (!isLoaded(tools, loaderId)) {
+                if (System.nanoTime() > deadline) {
+                    throw new TimeoutException("Page load of " + url + " did not finish within "
+                            + PAGE_LOAD_TIMEOUT.toSeconds() + " s");
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new WebDriverException("Interrupted while loading " + url, e);
+                }
+            }
+        }
+
+        // Loaded once the main frame shows the new document (same loader) and it reports readyState complete
+        @SuppressWarnings("unchecked")
+        private boolean isLoaded(DevTools tools, String loaderId) {
+            Map<String, Object> tree = tools.send(new Command<>("Page.getFrameTree", Map.of(), AS_MAP));
+            Map<String, Object> frame = (Map<String, Object>) ((Map<String, Object>) tree.get("frameTree")).get("frame");
+            if (loaderId != null && !loaderId.equals(frame.get("loaderId"))) {
+                return false;
+            }
+            Map<String, Object> evaluated = tools.send(new Command<>("Runtime.evaluate",
+                    Map.of("expression", "document.readyState", "returnByValue", true), AS_MAP));
+            return "complete".equals(((Map<String, Object>) evaluated.get("result")).get("value"));
+        }
+    }
+
+    private class ContextBoundDecorator extends WebDriverDecorator<WebDriver> {
+        private final IsolatedContext context;
+
+        ContextBoundDecorator(IsolatedContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            if (original == sharedDriver) {
+                switch (method.getName()) {
+                    case "quit":
+                        release(context);
+                        return null;
+                    case "get":
+                        context.navigate((String) args[0]);
+                        return null;
+                    case "getDevTools":
+                        return context.getDevTools();
+                    case "maybeGetDevTools":
+                        return Optional.of(context.getDevTools());
+                    default:
+                        break;
+                }
+            }
+            if (original instanceof WebDriver.Navigation && "to".equals(method.getName())) {
+                context.navigate(String.valueOf(args[0]));
+                return null;
+            }
+            synchronized (lock) {
+                focus(context.windowHandle);
+                return super.call(target, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package web.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Tracks how much browser memory and CPU the web scenarios of a run cost, so the shared-process
+ * ({@code browser.mode=multiplexed}) and one-process-per-scenario ({@code browser.mode=process})
+ * models can be compared from two runs of the same suite.
+ *
+ * <p>Memory is the proportional set size of all Chrome/driver processes started by this JVM, sampled
+ * whenever a scenario starts or finishes, and divided by the Chrome scenarios running at that moment.
+ * Other browsers are counted as scenarios but not in the memory figures. Only available on Linux;
+ * elsewhere memory figures are -1. The per-scenario figures only say something about sharing a process
+ * when scenarios actually overlapped, so the report flags runs that never had two running at once.
+ */
+public class BrowserFootprintReport {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserFootprintReport.class);
+    private static final String MODE = ConfigUtils.getProperty("browser.mode", "process");
+    private static final Path REPORT_DIR = Paths.get("target");
+
+    private static int active;
+    private static int activeChrome;
+    private static int peakConcurrent;
+    private static int sharedProcessScenarios;
+    private static int dedicatedProcessScenarios;
+    private static int completed;
+    private static long peakMemoryKb = -1;
+    private static long memoryPerScenarioSumKb;
+    private static int memorySamples;
+    private static long firstStartNanos = -1;
+    private static long lastFinishNanos = -1;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserFootprintReport::write, "browser-footprint-report"));
+    }
+
+    public static synchronized void scenarioStarted(String browser, boolean sharedProcess) {
+        if (firstStartNanos < 0) {
+            firstStartNanos = System.nanoTime();
+        }
+        active++;
+        if (isChrome(browser)) {
+            activeChrome++;
+        }
+        peakConcurrent = Math.max(peakConcurrent, active);
+        if (sharedProcess) {
+            sharedProcessScenarios++;
+        } else {
+            dedicatedProcessScenarios++;
+        }
+        sample();
+    }
+
+    public static synchronized void scenarioFinished(String browser) {
+        sample();
+        active--;
+        if (isChrome(browser)) {
+            activeChrome--;
+        }
+        completed++;
+        lastFinishNanos = System.nanoTime();
+    }
+
+    private static void sample() {
+        long memoryKb = browserMemoryKb();
+        if (memoryKb < 0 || activeChrome == 0) {
+            return;
+        }
+        peakMemoryKb = Math.max(peakMemoryKb, memoryKb);
+        memoryPerScenarioSumKb += memoryKb / activeChrome;
+        memorySamples++;
+    }
+
+    private static boolean isChrome(String browser) {
+        return "chrome".equals(browser);
+    }
+
+    private static long browserMemoryKb() {
+        if (!Files.isDirectory(Paths.get("/proc/self"))) {
+            return -1;
+        }
+        return ProcessHandle.current().descendants()
+                .filter(process -> process.info().command().map(cmd -> cmd.contains("chrome")).orElse(false))
+                .mapToLong(process -> readMemoryKb(process.pid()))
+                .sum();
+    }
+
+    // Pss splits shared pages between Chrome's processes instead of counting them once per process
+    private static long readMemoryKb(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "smaps_rollup"));
+            for (String line : lines) {
+                if (line.startsWith("Pss:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read memory of process {}", pid, e);
+        }
+        return 0;
+    }
+
+    private static synchronized void write() {
+        if (completed == 0) {
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        double wallMinutes = (lastFinishNanos - firstStartNanos) / 60_000_000_000.0;
+        double scenariosPerCoreMinute = wallMinutes > 0 ? completed / wallMinutes / cores : 0;
+        long memoryPerScenarioKb = memorySamples > 0 ? memoryPerScenarioSumKb / memorySamples : -1;
+        boolean concurrent = peakConcurrent > 1;
+
+        Properties report = new Properties();
+        report.setProperty("browser.mode", MODE);
+        report.setProperty("scenarios.completed", String.valueOf(completed));
+        report.setProperty("scenarios.sharedProcess", String.valueOf(sharedProcessScenarios));
+        report.setProperty("scenarios.dedicatedProcess", String.valueOf(dedicatedProcessScenarios));
+        report.setProperty("scenarios.peakConcurrent", String.valueOf(peakConcurrent));
+        report.setProperty("comparison.valid", String.valueOf(concurrent));
+        report.setProperty("memory.peakKb", String.valueOf(peakMemoryKb));
+        report.setProperty("memory.perConcurrentChromeScenarioKb", String.valueOf(memoryPerScenarioKb));
+        report.setProperty("cpu.cores", String.valueOf(cores));
+        report.setProperty("throughput.scenariosPerCoreMinute", String.format("%.2f", scenariosPerCoreMinute));
+
+        logger.info("Browser footprint ({}): {} scenarios, peak {} concurrent, {} KB per concurrent Chrome scenario, "
+                        + "{} scenarios/core/min",
+                MODE, completed, peakConcurrent, memoryPerScenarioKb, String.format("%.2f", scenariosPerCoreMinute));
+        if (!concurrent) {
+            logger.warn("Browser footprint ({}): no two scenarios ran at the same time, so the figures cannot be "
+                    + "compared between browser modes; run with -Pparallel", MODE);
+        }
+
+        try {
+            Files.createDirectories(REPORT_DIR);
+            try (OutputStream out = Files.newOutputStream(REPORT_DIR.resolve("browser-footprint-" + MODE + ".properties"))) {
+                report.store(out, "Browser footprint per concurrent scenario");
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write browser footprint report", e);
+        }
+    }
+}
@@ -20,6 +20,7 @@ public class DriverFactory {
     private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
     private static final boolean HEADLESS = ConfigUtils.getBooleanProperty("headless", false);
     private static final String DEFAULT_BROWSER = ConfigUtils.getProperty("browser", "chrome");
+    private static final boolean MULTIPLEXED = "multiplexed".equalsIgnoreCase(ConfigUtils.getProperty("browser.mode", "process"));
 
     private static final ThreadLocal<DriverFactory> threadLocalInstance = new ThreadLocal<>();
 
@@ -27,11 +28,15 @@ public class DriverFactory {
     private BrowserMobProxy proxy;
     private String currentBrowser;
     private boolean useProxy;
+    private BrowserContextPool.IsolatedContext browserContext;
+    private boolean footprintTracked;
 
     private DriverFactory(String browser, boolean useProxy) {
         this.useProxy = useProxy;
         initializeDriver(browser);
         currentBrowser = browser.toLowerCase();
+        BrowserFootprintReport.scenarioStarted(currentBrowser, browserContext != null);
+        footprintTracked = true;
     }
 
     public static DriverFactory getInstance(String browser, boolean useProxy) {
@@ -65,6 +70,15 @@ public class DriverFactory {
 
     private void initializeDriver(String browser) {
         try {
+            // HAR capture needs its own proxied browser, so only plain Chrome sessions share a process
+            if (MULTIPLEXED && "chrome".equals(browser) && !useProxy) {
+                browserContext = BrowserContextPool.getInstance().acquire();
+                driver = browserContext.getDriver();
+                logger.info("Thread {}: Chrome browser context {} initialized in shared process",
+                        Thread.currentThread().getId(), browserContext.getContextId());
+                return;
+            }
+
             Proxy seleniumProxy = null;
             if (useProxy) {
                 proxy = new BrowserMobProxyServer();
@@ -76,16 +90,7 @@ public class DriverFactory {
 
             if ("chrome".equals(browser)) {
                 WebDriverManager.chromedriver().setup();
-                ChromeOptions options = new ChromeOptions();
-                if (useProxy && seleniumProxy != null) {
-                    options.setProxy(seleniumProxy);
-                }
-                options.setAcceptInsecureCerts(true);
-                options.addArguments("--start-maximized");
-                if (HEADLESS) {
-                    configureHeadlessChrome(options);
-                }
-                driver = new ChromeDriver(options);
+                driver = new ChromeDriver(buildChromeOptions(useProxy ? seleniumProxy : null));
                 if (useProxy) {
                     proxy.enableHarCaptureTypes(CaptureType.REQUEST_CONTENT, CaptureType.RESPONSE_CONTENT);
                 }
@@ -123,7 +128,20 @@ public class DriverFactory {
         }
     }
 
-    private void configureHeadlessChrome(ChromeOptions options) {
+    static ChromeOptions buildChromeOptions(Proxy seleniumProxy) {
+        ChromeOptions options = new ChromeOptions();
+        if (seleniumProxy != null) {
+            options.setProxy(seleniumProxy);
+        }
+        options.setAcceptInsecureCerts(true);
+        options.addArguments("--start-maximized");
+        if (HEADLESS) {
+            configureHeadlessChrome(options);
+        }
+        return options;
+    }
+
+    private static void configureHeadlessChrome(ChromeOptions options) {
         options.addArguments("--headless", "--disable-gpu", "--window-size=1920,1080");
         logger.debug("Thread {}: Configuring Chrome in headless mode", Thread.currentThread().getId());
     }
@@ -168,6 +186,16 @@ public class DriverFactory {
 
     public void quit() {
         try {
+            if (footprintTracked) {
+                BrowserFootprintReport.scenarioFinished(currentBrowser);
+                footprintTracked = false;
+            }
+            if (browserContext != null) {
+                BrowserContextPool.getInstance().release(browserContext);
+                browserContext = null;
+                driver = null;
+                logger.info("Thread {}: Browser context closed", Thread.currentThread().getId());
+            }
             if (driver != null) {
                 driver.quit();
                 driver = null;
@@ -0,0 +1,238 @@
+package web.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Scenario-scoped network condition emulation and fault injection for Chromium browsers, driven
+ * through the DevTools Network and Fetch domains. Throttling applies to the whole tab; faults apply
+ * only to requests matching a route. Only URLs matching a route's glob are paused by the browser, and
+ * all rules matching a request are combined. Close it at the end of the scenario to restore normal traffic.
+ */
+public class NetworkFaultInjector implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkFaultInjector.class);
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+
+    private final DevTools devTools;
+    private final List<Rule> rules = new CopyOnWriteArrayList<>();
+    private final Set<String> urlPatterns = new LinkedHashSet<>();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "network-fault-injector");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean interceptionEnabled;
+    private boolean throttled;
+    private volatile boolean closed;
+
+    private NetworkFaultInjector(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    public static NetworkFaultInjector attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            throw new IllegalStateException("Network fault injection needs a Chromium browser with DevTools support");
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+        return new NetworkFaultInjector(devTools);
+    }
+
+    public NetworkFaultInjector throttle(NetworkProfile profile) {
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        conditions.put("offline", false);
+        conditions.put("latency", profile.getLatencyMs());
+        conditions.put("downloadThroughput", profile.getDownloadBytesPerSecond());
+        conditions.put("uploadThroughput", profile.getUploadBytesPerSecond());
+        send("Network.enable", Map.of());
+        send("Network.emulateNetworkConditions", conditions);
+        throttled = profile != NetworkProfile.NO_THROTTLING;
+        logger.info("Thread {}: Network throttled to {}", Thread.currentThread().getId(), profile.getLabel());
+        return this;
+    }
+
+    /**
+     * Applies the fault to requests whose URL matches the DevTools glob ({@code *} and {@code ?}
+     * wildcards) and the route predicate. Only URLs matching a glob are paused by the browser.
+     */
+    public NetworkFaultInjector inject(String urlPattern, Predicate<HttpRequest> route, RouteFault fault) {
+        rules.add(new Rule(route, fault));
+        if (!interceptionEnabled) {
+            devTools.addListener(REQUEST_PAUSED, this::onRequestPaused);
+            interceptionEnabled = true;
+        }
+        if (urlPatterns.add(urlPattern)) {
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String pattern : urlPatterns) {
+                patterns.add(Map.of("urlPattern", pattern, "requestStage", "Request"));
+            }
+            send("Fetch.enable", Map.of("patterns", patterns));
+        }
+        logger.info("Thread {}: Fault injection enabled on {} ({} rules)",
+                Thread.currentThread().getId(), urlPattern, rules.size());
+        return this;
+    }
+
+    // Runs on the DevTools event thread, so all CDP calls are handed to the scheduler. The listener
+    // cannot be unregistered on its own, so once closed it ignores events (Fetch.disable releases them)
+    private void onRequestPaused(Map<String, Object> paused) {
+        if (closed) {
+            return;
+        }
+        String requestId = (String) paused.get("requestId");
+        RouteFault fault = match(paused);
+        try {
+            if (fault == null) {
+                scheduler.execute(() -> send("Fetch.continueRequest", Map.of("requestId", requestId)));
+            } else if (paused.containsKey("responseStatusCode")) {
+                scheduler.schedule(() -> releaseResponse(paused, fault),
+                        fault.getResponseDelay().toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                scheduler.schedule(() -> releaseRequest(requestId, fault),
+                        fault.getLatency().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            logger.debug("Thread {}: Request {} paused while closing, left to Fetch.disable",
+                    Thread.currentThread().getId(), requestId);
+        }
+    }
+
+    private RouteFault match(Map<String, Object> paused) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> request = (Map<String, Object>) paused.get("request");
+        HttpRequest httpRequest;
+        try {
+            httpRequest = new HttpRequest(HttpMethod.valueOf((String) request.get("method")), (String) request.get("url"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        RouteFault combined = null;
+        for (Rule rule : rules) {
+            if (rule.route.test(httpRequest)) {
+                combined = combined == null ? rule.fault : combined.combine(rule.fault);
+            }
+        }
+        return combined;
+    }
+
+    private void releaseRequest(String requestId, RouteFault fault) {
+        if (fault.getStatus() > 0) {
+            send("Fetch.fulfillRequest", Map.of(
+                    "requestId", requestId,
+                    "responseCode", fault.getStatus(),
+                    "responseHeaders", List.of(),
+                    "body", ""));
+        } else if (ThreadLocalRandom.current().nextDouble() < fault.getDropRate()) {
+            send("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "ConnectionReset"));
+        } else {
+            send("Fetch.continueRequest", Map.of("requestId", requestId, "interceptResponse", fault.needsResponse()));
+        }
+    }
+
+    private void releaseResponse(Map<String, Object> paused, RouteFault fault) {
+        String requestId = (String) paused.get("requestId");
+        if (fault.getBodyFraction() >= 1.0) {
+            send("Fetch.continueRequest", Map.of("requestId", requestId));
+            return;
+        }
+        Map<String, Object> response;
+        try {
+            response = devTools.send(new Command<>("Fetch.getResponseBody",
+                    Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+        } catch (Exception e) {
+            logger.warn("Thread {}: Could not read response body of {}, passing it through unchanged",
+                    Thread.currentThread().getId(), requestId, e);
+            send("Fetch.continueRequest", Map.of("requestId", requestId));
+            return;
+        }
+        String body = (String) response.get("body");
+        byte[] bytes = Boolean.TRUE.equals(response.get("base64Encoded"))
+                ? Base64.getDecoder().decode(body)
+                : body.getBytes(StandardCharsets.UTF_8);
+        int length = (int) (bytes.length * fault.getBodyFraction());
+        byte[] truncated = new byte[length];
+        System.arraycopy(bytes, 0, truncated, 0, length);
+
+        // The body handed back is already decoded and shorter than announced, so drop those headers
+        List<Map<String, Object>> headers = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> originalHeaders = (List<Map<String, Object>>) paused.get("responseHeaders");
+        if (originalHeaders != null) {
+            for (Map<String, Object> header : originalHeaders) {
+                String name = String.valueOf(header.get("name"));
+                if (!name.equalsIgnoreCase("content-length") && !name.equalsIgnoreCase("content-encoding")) {
+                    headers.add(header);
+                }
+            }
+        }
+        send("Fetch.fulfillRequest", Map.of(
+                "requestId", requestId,
+                "responseCode", paused.get("responseStatusCode"),
+                "responseHeaders", headers,
+                "body", Base64.getEncoder().encodeToString(truncated)));
+    }
+
+    private void send(String method, Map<String, Object> params) {
+        try {
+            devTools.send(new Command<>(method, params));
+        } catch (Exception e) {
+            logger.error("Thread {}: DevTools command {} failed", Thread.currentThread().getId(), method, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            // Disabling Fetch first lets the browser release every request still paused by this injector
+            if (interceptionEnabled) {
+                send("Fetch.disable", Map.of());
+                interceptionEnabled = false;
+            }
+            scheduler.shutdownNow();
+            if (throttled) {
+                throttle(NetworkProfile.NO_THROTTLING);
+            }
+            rules.clear();
+            logger.info("Thread {}: Network fault injection closed", Thread.currentThread().getId());
+        } catch (Exception e) {
+            logger.error("Thread {}: Error while closing network fault injection", Thread.currentThread().getId(), e);
+        }
+    }
+
+    private static class Rule {
+        private final Predicate<HttpRequest> route;
+        private final RouteFault fault;
+
+        private Rule(Predicate<HttpRequest> route, RouteFault fault) {
+            this.route = route;
+            this.fault = fault;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package web.utils;
+
+/**
+ * Network throttling presets, matching the Chrome DevTools profiles (including the factors DevTools
+ * applies to the nominal link speeds: 0.9 for 4G, 0.8 for 3G).
+ * Throughput values are in kilobits per second; -1 disables throttling.
+ */
+public enum NetworkProfile {
+    NO_THROTTLING("none", 0, -1, -1),
+    FAST_4G("fast 4G", 165, 8100, 1350),
+    SLOW_4G("slow 4G", 563, 1440, 675),
+    THREE_G("3G", 2000, 400, 400);
+
+    private final String label;
+    private final long latencyMs;
+    private final long downloadKbps;
+    private final long uploadKbps;
+
+    NetworkProfile(String label, long latencyMs, long downloadKbps, long uploadKbps) {
+        this.label = label;
+        this.latencyMs = latencyMs;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+    }
+
+    public static NetworkProfile fromLabel(String label) {
+        for (NetworkProfile profile : values()) {
+            if (profile.label.equalsIgnoreCase(label.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown network profile: " + label);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public long getDownloadBytesPerSecond() {
+        return downloadKbps < 0 ? -1 : downloadKbps * 1000 / 8;
+    }
+
+    public long getUploadBytesPerSecond() {
+        return uploadKbps < 0 ? -1 : uploadKbps * 1000 / 8;
+    }
+}
@@ -0,0 +1,124 @@
+package web.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Browser-side performance metrics read from the Navigation Timing, Resource Timing and
+ * PerformanceObserver APIs. Times are in milliseconds; metrics the browser does not report are -1.
+ */
+public class PageMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(PageMetrics.class);
+    private static final String SCRIPT = loadScript();
+
+    private final long ttfbMs;
+    private final long domContentLoadedMs;
+    private final long loadMs;
+    private final long largestContentfulPaintMs;
+    private final double layoutShift;
+    private final long transferBytes;
+    private final long requests;
+
+    private PageMetrics(long ttfbMs, long domContentLoadedMs, long loadMs, long largestContentfulPaintMs,
+                        double layoutShift, long transferBytes, long requests) {
+        this.ttfbMs = ttfbMs;
+        this.domContentLoadedMs = domContentLoadedMs;
+        this.loadMs = loadMs;
+        this.largestContentfulPaintMs = largestContentfulPaintMs;
+        this.layoutShift = layoutShift;
+        this.transferBytes = transferBytes;
+        this.requests = requests;
+    }
+
+    /**
+     * Collects metrics for the current page. With a mark name, only activity after that
+     * {@code performance.mark} is measured (e.g. an in-page form submission), and with a request URL only
+     * the XHR/fetch request to that URL counts.
+     */
+    public static PageMetrics collect(WebDriver driver, String sinceMark, String requestUrl) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeAsyncScript(SCRIPT, sinceMark, requestUrl);
+            PageMetrics metrics = new PageMetrics(
+                    Math.round(number(values, "ttfb")),
+                    Math.round(number(values, "domContentLoaded")),
+                    Math.round(number(values, "load")),
+                    Math.round(number(values, "lcp")),
+                    number(values, "cls"),
+                    Math.round(number(values, "transferBytes")),
+                    Math.round(number(values, "requests")));
+            logger.debug("Page metrics collected: {}", metrics);
+            return metrics;
+        } catch (Exception e) {
+            logger.warn("Failed to collect page metrics", e);
+            return new PageMetrics(-1, -1, -1, -1, -1, -1, -1);
+        }
+    }
+
+    public static void mark(WebDriver driver, String name) {
+        try {
+            ((JavascriptExecutor) driver).executeScript("performance.mark(arguments[0]);", name);
+        } catch (Exception e) {
+            logger.warn("Failed to set performance mark {}", name, e);
+        }
+    }
+
+    private static double number(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    private static String loadScript() {
+        try (InputStream input = PageMetrics.class.getClassLoader().getResourceAsStream("js/page-metrics.js")) {
+            if (input == null) {
+                throw new RuntimeException("js/page-metrics.js not found");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load js/page-metrics.js", e);
+        }
+    }
+
+    public long getTtfbMs() {
+        return ttfbMs;
+    }
+
+    public long getDomContentLoadedMs() {
+        return domContentLoadedMs;
+    }
+
+    public long getLoadMs() {
+        return loadMs;
+    }
+
+    public long getLargestContentfulPaintMs() {
+        return largestContentfulPaintMs;
+    }
+
+    public double getLayoutShift() {
+        return layoutShift;
+    }
+
+    public long getTransferBytes() {
+        return transferBytes;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TTFB=%d ms, DOMContentLoaded=%d ms, load=%d ms, LCP=%d ms, CLS=%.3f, "
+                        + "transfer=%d bytes, requests=%d",
+                ttfbMs, domContentLoadedMs, loadMs, largestContentfulPaintMs, layoutShift, transferBytes, requests);
+    }
+}
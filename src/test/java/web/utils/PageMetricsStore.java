@@ -0,0 +1,95 @@
+package web.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Page metrics of every web scenario in the run, per scenario, browser, phase ("load", "submit") and
+ * network condition ({@link #CLEAN}, a throttling profile label, or {@link #FAULTED}). The raw samples are
+ * written to {@code target/page-metrics.csv} when the run ends. Budgets are checked per scenario with
+ * {@link #percentile}, so they do not depend on which scenarios ran before.
+ */
+public class PageMetricsStore {
+    private static final Logger logger = LoggerFactory.getLogger(PageMetricsStore.class);
+    private static final Path REPORT_FILE = Paths.get("target", "page-metrics.csv");
+    private static final List<Sample> samples = new ArrayList<>();
+
+    /** No throttling and no injected faults. */
+    public static final String CLEAN = "clean";
+    /** Faults injected on a route, with or without throttling. */
+    public static final String FAULTED = "faulted";
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PageMetricsStore::write, "page-metrics-report"));
+    }
+
+    public static synchronized void record(String scenario, String browser, String phase, String condition,
+                                           PageMetrics metrics) {
+        samples.add(new Sample(scenario, browser, phase, condition, metrics));
+        logger.info("Page metrics for '{}' on {} ({}, {}): {}", scenario, browser, phase, condition, metrics);
+    }
+
+    /**
+     * Nearest-rank percentile of a metric over the given samples. Samples where the browser did not
+     * report the metric are ignored; returns -1 when there are none.
+     */
+    public static double percentile(List<PageMetrics> metrics, ToDoubleFunction<PageMetrics> metric, int percentile) {
+        double[] values = metrics.stream()
+                .mapToDouble(metric)
+                .filter(value -> value >= 0)
+                .sorted()
+                .toArray();
+        if (values.length == 0) {
+            return -1;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+        return values[Math.max(rank, 1) - 1];
+    }
+
+    private static synchronized void write() {
+        if (samples.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(REPORT_FILE))) {
+                out.println("scenario,browser,phase,condition,ttfbMs,domContentLoadedMs,loadMs,lcpMs,cls,transferBytes,requests");
+                for (Sample sample : samples) {
+                    PageMetrics m = sample.metrics;
+                    out.printf(Locale.ROOT, "\"%s\",%s,%s,%s,%d,%d,%d,%d,%.4f,%d,%d%n",
+                            sample.scenario.replace("\"", "\"\""), sample.browser, sample.phase, sample.condition,
+                            m.getTtfbMs(), m.getDomContentLoadedMs(), m.getLoadMs(), m.getLargestContentfulPaintMs(),
+                            m.getLayoutShift(), m.getTransferBytes(), m.getRequests());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write page metrics report", e);
+        }
+    }
+
+    private static class Sample {
+        private final String scenario;
+        private final String browser;
+        private final String phase;
+        private final String condition;
+        private final PageMetrics metrics;
+
+        private Sample(String scenario, String browser, String phase, String condition, PageMetrics metrics) {
+            this.scenario = scenario;
+            this.browser = browser;
+            this.phase = phase;
+            this.condition = condition;
+            this.metrics = metrics;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package web.utils;
+
+import java.time.Duration;
+
+/**
+ * Faults applied by {@link NetworkFaultInjector} to requests on a matched route.
+ * Start from one of the factory methods and chain {@code with...} calls to combine faults.
+ */
+public class RouteFault {
+    private Duration latency = Duration.ZERO;
+    private double dropRate;
+    private int status = -1;
+    private Duration responseDelay = Duration.ZERO;
+    private double bodyFraction = 1.0;
+
+    private RouteFault() {
+    }
+
+    /** Holds the request for the given time before it is sent. */
+    public static RouteFault latency(Duration latency) {
+        return new RouteFault().withLatency(latency);
+    }
+
+    /** Aborts the given fraction of requests with a connection reset, as a lost connection would. */
+    public static RouteFault dropped(double rate) {
+        return new RouteFault().withDropRate(rate);
+    }
+
+    /** Answers with the given status and an empty body without reaching the server. */
+    public static RouteFault status(int status) {
+        return new RouteFault().withStatus(status);
+    }
+
+    /** Holds the server's response for the given time before the browser sees it. */
+    public static RouteFault delayedResponse(Duration delay) {
+        return new RouteFault().withResponseDelay(delay);
+    }
+
+    /** Delivers only the given fraction of the server's response body. */
+    public static RouteFault partialResponse(double fraction) {
+        return new RouteFault().withBodyFraction(fraction);
+    }
+
+    public RouteFault withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public RouteFault withDropRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Drop rate must be between 0 and 1: " + rate);
+        }
+        this.dropRate = rate;
+        return this;
+    }
+
+    public RouteFault withStatus(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public RouteFault withResponseDelay(Duration delay) {
+        this.responseDelay = delay;
+        return this;
+    }
+
+    public RouteFault withBodyFraction(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Body fraction must be between 0 and 1: " + fraction);
+        }
+        this.bodyFraction = fraction;
+        return this;
+    }
+
+    /** Both faults at once: delays add up, drop chances compound, the shorter body wins. */
+    RouteFault combine(RouteFault other) {
+        RouteFault combined = new RouteFault();
+        combined.latency = latency.plus(other.latency);
+        combined.dropRate = 1 - (1 - dropRate) * (1 - other.dropRate);
+        combined.status = status > 0 ? status : other.status;
+        combined.responseDelay = responseDelay.plus(other.responseDelay);
+        combined.bodyFraction = Math.min(bodyFraction, other.bodyFraction);
+        return combined;
+    }
+
+    Duration getLatency() {
+        return latency;
+    }
+
+    double getDropRate() {
+        return dropRate;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    Duration getResponseDelay() {
+        return responseDelay;
+    }
+
+    double getBodyFraction() {
+        return bodyFraction;
+    }
+
+    boolean needsResponse() {
+        return status < 0 && (!responseDelay.isZero() || bodyFraction < 1.0);
+    }
+}
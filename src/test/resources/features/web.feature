@@ -54,3 +54,64 @@ Feature: Contact Form Testing
     When I fill in the contact form with "Test User" as name and "Test Message" as message
     And I submit the form with server error occurring
     Then I should not see a success message
+
+  Scenario Outline: Contact form feedback time under network profile
+    Given I am on the contact page
+    And the network is throttled to "<profile>"
+    When I fill in the contact form with "Test User" as name and "Test Message" as message
+    And I submit the form and measure the time to feedback
+    Then the form should give feedback within <budget> ms
+    Examples:
+      | profile | budget |
+      | none    | 5000   |
+      | slow 4G | 10000  |
+      | 3G      | 20000  |
+
+  Scenario: Contact form feedback time with slow form submission
+    Given I am on the contact page
+    And form submissions are delayed by 1000 ms
+    And form submission responses are held for 1000 ms
+    When I fill in the contact form with "Test User" as name and "Test Message" as message
+    And I submit the form and measure the time to feedback
+    Then the form should give feedback within 8000 ms
+
+  Scenario: Held form submission response is reflected in time to feedback
+    Given I am on the contact page
+    And form submission responses are held for 3000 ms
+    When I fill in the contact form with "Test User" as name and "Test Message" as message
+    And I submit the form and measure the time to feedback
+    Then the form should not give feedback within 2500 ms
+
+  Scenario: Test form submission with dropped connection
+    Given I am on the contact page
+    And 100% of form submissions are dropped
+    When I fill in the contact form with "Test User" as name and "Test Message" as message
+    And I submit the form
+    Then I should not see a success message
+
+  Scenario: Test form submission with truncated response
+    Given I am on the contact page
+    And only 10% of the form submission response is delivered
+    When I fill in the contact form with "Test User" as name and "Test Message" as message
+    And I submit the form
+    Then I should not see a success message
+
+  Scenario Outline: Contact page performance budgets
+    Given I am on the contact page using "<browser>"
+    When I reload the contact page 9 more times
+    Then the page should load within 4000 ms at p95
+    And time to first byte should be within 1500 ms at p95
+    And DOMContentLoaded should fire within 3000 ms at p95
+    And the page should transfer at most 5000 KB
+    When I submit the contact form 5 times and measure each submission
+    Then the form submission should complete within 5000 ms at p95
+    Examples:
+      | browser |
+      | chrome  |
+      | firefox |
+
+  Scenario: Contact page rendering budgets
+    Given I am on the contact page
+    When I reload the contact page 9 more times
+    Then the largest contentful paint should be within 4000 ms at p95
+    And the layout shift should be at most 0.1 at p95
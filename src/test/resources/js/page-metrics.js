@@ -0,0 +1,116 @@
+// Collects Navigation Timing, Resource Timing and Web Vitals-style metrics.
+// arguments[0]: name of a performance mark; when present (and the page has not navigated since),
+// only activity after the mark is measured.
+// arguments[1]: with a mark, part of the URL of the request to measure (e.g. a form's own POST); only
+// XHR/fetch requests to that URL count, so beacons and lazy-loaded images do not.
+// Values that are not available are reported as -1.
+var sinceMark = arguments[0];
+var requestUrl = arguments[1];
+var done = arguments[arguments.length - 1];
+var result = {ttfb: -1, domContentLoaded: -1, load: -1, lcp: -1, cls: -1, transferBytes: 0, requests: 0};
+var LOAD_EVENT_TIMEOUT_MS = 5000;
+
+var since = 0;
+if (sinceMark) {
+    var marks = performance.getEntriesByName(sinceMark, 'mark');
+    if (marks.length) {
+        since = marks[marks.length - 1].startTime;
+    } else {
+        sinceMark = null;
+    }
+}
+
+// Timing attributes are 0 until the event happened, which is not the same as taking 0 ms
+function measured(value) {
+    return value > 0 ? value : -1;
+}
+
+function collectTimings() {
+    var resources = performance.getEntriesByType('resource').filter(function (entry) {
+        return entry.startTime >= since;
+    });
+    if (sinceMark && requestUrl) {
+        resources = resources.filter(function (entry) {
+            return (entry.initiatorType === 'xmlhttprequest' || entry.initiatorType === 'fetch')
+                && entry.name.indexOf(requestUrl) >= 0;
+        });
+    }
+
+    if (!sinceMark) {
+        resources.forEach(function (entry) {
+            result.transferBytes += entry.transferSize || 0;
+        });
+        result.requests = resources.length;
+        var navigation = performance.getEntriesByType('navigation')[0];
+        if (navigation) {
+            result.ttfb = measured(navigation.responseStart);
+            result.domContentLoaded = measured(navigation.domContentLoadedEventEnd);
+            result.load = measured(navigation.loadEventEnd);
+            result.transferBytes += navigation.transferSize || 0;
+            result.requests += 1;
+        }
+    } else if (resources.length) {
+        // The latest matching request is the submission itself; earlier ones belong to other activity
+        var request = requestUrl
+            ? resources[resources.length - 1]
+            : resources.reduce(function (a, b) { return a.startTime <= b.startTime ? a : b; });
+        result.ttfb = request.responseStart > 0 ? request.responseStart - since : -1;
+        result.load = requestUrl
+            ? (request.responseEnd > 0 ? request.responseEnd - since : -1)
+            : Math.max.apply(null, resources.map(function (entry) { return entry.responseEnd; })) - since;
+        (requestUrl ? [request] : resources).forEach(function (entry) {
+            result.transferBytes += entry.transferSize || 0;
+        });
+        result.requests = requestUrl ? 1 : resources.length;
+    }
+}
+
+var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];
+var observers = [];
+
+function observe(type, callback) {
+    if (supported.indexOf(type) < 0) {
+        return;
+    }
+    var observer = new PerformanceObserver(function (list) {
+        list.getEntries().forEach(callback);
+    });
+    observer.observe({type: type, buffered: true});
+    observers.push(observer);
+}
+
+// LCP stops being reported after the first user input, so it only describes the initial load
+if (!sinceMark) {
+    observe('largest-contentful-paint', function (entry) {
+        result.lcp = entry.renderTime || entry.startTime;
+    });
+}
+if (supported.indexOf('layout-shift') >= 0) {
+    result.cls = 0;
+}
+observe('layout-shift', function (entry) {
+    if (!entry.hadRecentInput && entry.startTime >= since) {
+        result.cls += entry.value;
+    }
+});
+
+function finish() {
+    observers.forEach(function (observer) {
+        observer.disconnect();
+    });
+    collectTimings();
+    done(result);
+}
+
+// readyState can already be 'complete' while load handlers still run, so wait for loadEventEnd (bounded)
+// when measuring a page load. Buffered observer entries are delivered asynchronously in any case.
+var started = Date.now();
+(function waitForLoadEvent() {
+    var navigation = performance.getEntriesByType('navigation')[0];
+    var pending = !sinceMark && navigation && !(navigation.loadEventEnd > 0);
+    if (pending && Date.now() - started < LOAD_EVENT_TIMEOUT_MS) {
+        setTimeout(waitForLoadEvent, 50);
+    } else {
+        setTimeout(finish, 100);
+    }
+})();